@@ -1,41 +1,58 @@
 package main;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
+import main.models.ByteBufferAppendable;
 import main.models.Delegation;
+import main.models.ResultFormatter;
+import main.models.ResultView;
 
 public class Main {
-    public static void main(String args[]) {
+
+    public static final String[] citiesStarting = { "Wroclaw" };
+    public static final String[] citiesEnding = { "Wroclaw", "Bialystok", "Stargard", "Slupsk", "Torun", "Radom",
+            "Zgorzelec", "Drezdenko", "Brzeg", "Rybnik", "Rzeszow", "Gdynia", "Czestochowa", "Miedzylesie",
+            "Walbrzych", "Tarnow", "Lodz", "Ostrow Wielkopolski", "Zielona Gora", "Kedzierzyn-Kozle", "Wielun",
+            "Olsztyn" };
+
+    public static final double[][] distances = { { 0.0, 535.0, 376.0, 443.0, 334.0, 357.0, 164.0, 256.0, 42.5, 188.0,
+            437.0, 506.0, 200.0, 127.0, 82.4, 363.0, 217.0, 102.0, 187.0, 135.0, 125.0, 507.0 } };
+
+    public static final int[][] durations = { { 0, 19620, 14520, 20160, 13800, 15000, 6600, 11280, 3420, 7680, 15660,
+            19800, 9660, 7320, 4500, 13500, 8820, 5760, 7560, 6240, 5700, 21000 } };
+
+    private static final String separator = "---------------------------------------\n";
+
+    // Reused by every printSolution call so printing doesn't allocate per delegation
+    private static final ResultView resultView = new ResultView();
+    private static final ByteBufferAppendable output = new ByteBufferAppendable(ByteBuffer.allocate(8192),
+            System.out);
+
+    public static void main(String args[]) throws IOException {
 
         double optimalCost = Double.parseDouble(args[0]);
         int timeMillis = Integer.parseInt(args[1]);
         double epsilon = Double.parseDouble(args[2]);
         int meals = Integer.parseInt(args[3]);
 
-        String[] citiesStarting = { "Wroclaw" };
-        String[] citiesEnding = { "Wroclaw", "Bialystok", "Stargard", "Slupsk", "Torun", "Radom", "Zgorzelec",
-                "Drezdenko", "Brzeg", "Rybnik", "Rzeszow", "Gdynia", "Czestochowa", "Miedzylesie", "Walbrzych",
-                "Tarnow", "Lodz", "Ostrow Wielkopolski", "Zielona Gora", "Kedzierzyn-Kozle", "Wielun", "Olsztyn" };
+        Solver optimalDelegations = new Solver(optimalCost, distances, durations, citiesStarting, citiesEnding, meals,
+                SolverProfile.load());
 
-        double[][] distances = { { 0.0, 535.0, 376.0, 443.0, 334.0, 357.0, 164.0, 256.0, 42.5, 188.0, 437.0, 506.0,
-                200.0, 127.0, 82.4, 363.0, 217.0, 102.0, 187.0, 135.0, 125.0, 507.0 } };
-
-        int[][] durations = { { 0, 19620, 14520, 20160, 13800, 15000, 6600, 11280, 3420, 7680, 15660, 19800, 9660, 7320,
-                4500, 13500, 8820, 5760, 7560, 6240, 5700, 21000 } };
-        
-
-        Solver optimalDelegations = new Solver(optimalCost, distances, durations, citiesStarting, citiesEnding, meals);
+        // Optional fifth argument switches to steady-state mode with given number of
+        // worker threads
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        if (args.length > 4 && threads < 1) {
+            System.err.println("Number of steady-state threads must be at least 1, got: " + threads);
+            System.exit(1);
+        }
 
-        ArrayList<Delegation> optimal = optimalDelegations.solve(timeMillis, epsilon);
+        ArrayList<Delegation> optimal = args.length > 4
+                ? optimalDelegations.solveSteadyState(timeMillis, epsilon, threads)
+                : optimalDelegations.solve(timeMillis, epsilon);
 
-        double total = 0;
-        System.out.println("---------------------------------------");
-        for(Delegation delegation : optimal){
-            total += delegation.delegationCost();
-            System.out.println("cost: " + delegation.delegationCost() + "; "+ delegation.toString());
-        }
-        System.out.println("TOTAL: " + total);
-        System.out.println("---------------------------------------");
+        printSolution(optimal);
         /*
         System.out.println("---------------------------------------");
 
@@ -53,4 +70,17 @@ public class Main {
         }
         */
     }
+
+    /**
+     * Print every delegation of solution with its cost and total cost
+     *
+     * @param optimal
+     * @throws IOException
+     */
+    public static void printSolution(ArrayList<Delegation> optimal) throws IOException {
+        output.append(separator);
+        ResultFormatter.appendText(resultView.wrap(optimal), output);
+        output.append(separator);
+        output.flush();
+    }
 }
@@ -2,7 +2,11 @@ package main;
 
 import main.models.*;
 import java.util.*;
-import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
 
 public class Solver {
 
@@ -10,8 +14,9 @@ public class Solver {
      * km > 0 days >=2 and days <=5 meals >=0 and meals <= 4*days
      */
 
-    private final int populationSize = 20;
-    private final int tournamentContestants = 5;
+    private int populationSize;
+    private int tournamentContestants;
+    private int mutationRate;
 
     private ArrayList<Delegation> bestSolution;
     private double bestFitness;
@@ -24,9 +29,20 @@ public class Solver {
     private int[][] durations;
     private String[] citiesStart;
     private String[] citiesEnd;
+    private ArrayList<Distance> sortedDistances;
 
     public Solver(double optimalTotalCost, double[][] distances, int[][] durations, String[] citiesStart,
             String[] citiesEnd, int meals) {
+        this(optimalTotalCost, distances, durations, citiesStart, citiesEnd, meals, SolverProfile.defaults());
+    }
+
+    /**
+     * @param profile Cost bands and settings, band of optimalTotalCost decides
+     *                maxDelegations (at most number of distances) and settings
+     *                used
+     */
+    public Solver(double optimalTotalCost, double[][] distances, int[][] durations, String[] citiesStart,
+            String[] citiesEnd, int meals, SolverProfile profile) {
         this.optimalTotalCost = optimalTotalCost;
         this.distances = distances;
         this.durations = durations;
@@ -35,19 +51,19 @@ public class Solver {
         bestFitness = optimalTotalCost;
         maxMeals = meals;
 
-        if (optimalTotalCost <= 500) {
-            maxDelegations = 1;
-        } else if (optimalTotalCost <= 1000) {
-            maxDelegations = 2;
-        } else if (optimalTotalCost <= 1500) {
-            maxDelegations = 3;
-        } else if (optimalTotalCost <= 2000) {
-            maxDelegations = 4;
-        } else if (optimalTotalCost <= 2500) {
-            maxDelegations = 5;
-        } else {
-            maxDelegations = 6;
-        }
+        int band = profile.band(optimalTotalCost);
+
+        SolverSettings settings = profile.getSettings(band);
+        populationSize = settings.populationSize;
+        tournamentContestants = settings.tournamentContestants;
+        mutationRate = settings.mutationRate;
+
+        sortedDistances = generateDistancesList();
+        Collections.sort(sortedDistances);
+
+        // Profile can have more bands than the matrix has distances, every
+        // delegation needs its own Distance
+        maxDelegations = Math.min(band, sortedDistances.size());
 
         generateInitialPopulation();
     }
@@ -60,6 +76,98 @@ public class Solver {
         return bestSolution;
     }
 
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    /**
+     * Find Distance between given start and end city indexes
+     * 
+     * @param start
+     * @param end
+     * @return Matching Distance or null if there is no such Distance
+     */
+    public Distance distanceFor(int start, int end) {
+        for (Distance distance : sortedDistances) {
+            if (distance.start == start && distance.end == end) {
+                return distance;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Select best solutions of current population, updating best to date
+     * solution on the way. Returned lists are the ones held in population so
+     * they should be copied or serialized before next solve.
+     * 
+     * @param count
+     * @return Up to count best solutions, best first
+     */
+    public ArrayList<ArrayList<Delegation>> getElites(int count) {
+        ArrayList<ArrayList<Delegation>> elites = new ArrayList<>();
+
+        if (population.size() < populationSize) {
+            return elites;
+        }
+
+        double[] fitnesses = calculateFitnesses();
+        Integer[] order = new Integer[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(fitnesses[a], fitnesses[b]));
+
+        for (int i = 0; i < count && i < populationSize; i++) {
+            elites.add(population.get(order[i]));
+        }
+
+        return elites;
+    }
+
+    /**
+     * Put copies of solutions received from other populations in place of the
+     * worst ones and update best to date solution if any of them is better
+     * 
+     * @param migrants
+     */
+    public void acceptMigrants(List<ArrayList<Delegation>> migrants) {
+        if (population.size() < populationSize || migrants.isEmpty()) {
+            return;
+        }
+
+        double[] fitnesses = calculateFitnesses();
+
+        for (ArrayList<Delegation> migrant : migrants) {
+            if (migrant.isEmpty()) {
+                continue;
+            }
+
+            repairSolution(migrant);
+
+            int worstIndex = 0;
+            for (int i = 1; i < populationSize; i++) {
+                if (fitnesses[i] > fitnesses[worstIndex]) {
+                    worstIndex = i;
+                }
+            }
+
+            double fitness = checkFitness(migrant);
+            if (fitness >= fitnesses[worstIndex]) {
+                continue;
+            }
+
+            population.set(worstIndex, copySolution(migrant));
+            fitnesses[worstIndex] = fitness;
+
+            if (fitness < bestFitness) {
+                bestFitness = fitness;
+                bestSolution = copySolution(migrant);
+            }
+        }
+    }
+
     /**
      * Generate list of available Distances from given matrix and city names
      * 
@@ -82,10 +190,10 @@ public class Solver {
     /**
      * Generate random solution
      * @param distancesList
+     * @param rand
      * @return
      */
-    private ArrayList<Delegation> randomSolution(ArrayList<Distance> distancesList) {
-        SecureRandom rand = new SecureRandom();
+    private ArrayList<Delegation> randomSolution(ArrayList<Distance> distancesList, Random rand) {
 
         ArrayList<Delegation> proposedSolutionRandom = new ArrayList<>();
         ArrayList<Integer> usedPoints = new ArrayList<>();
@@ -112,7 +220,7 @@ public class Solver {
             Delegation temp = new Delegation(distancesList.get(distanceIndex));
 
             temp.setDaysWithDistanceCheck(rand.nextInt(4) + 2);
-            temp.setRandomMealReductionWithMaxCheck(maxMeals);
+            temp.setRandomMealReductionWithMaxCheck(maxMeals, rand);
 
             proposedSolutionRandom.add(temp);
 
@@ -127,7 +235,7 @@ public class Solver {
      * Generate a few example answers for the algorithm to work with
      */
     private void generateInitialPopulation() {
-        SecureRandom rand = new SecureRandom();
+        Random rand = ThreadLocalRandom.current();
         ArrayList<Distance> distancesList = generateDistancesList();
         Collections.sort(distancesList);
 
@@ -145,7 +253,7 @@ public class Solver {
         for (int i = 0; i < populationSize / 2; i++) {
             ArrayList<Delegation> proposedSolutionDeterministic = new ArrayList<>();
 
-            population.add(randomSolution(distancesList));
+            population.add(randomSolution(distancesList, rand));
 
             // Generate deterministic solution
             int subDistanceListSize = distancesList.size() / maxDelegations;
@@ -160,7 +268,7 @@ public class Solver {
                 Delegation temp = new Delegation(distancesList.get(distanceIndex));
 
                 temp.setDaysWithDistanceCheck(rand.nextInt(4) + 2);
-                temp.setRandomMealReductionWithMaxCheck(maxMeals);
+                temp.setRandomMealReductionWithMaxCheck(maxMeals, rand);
 
                 proposedSolutionDeterministic.add(temp);
             }
@@ -168,6 +276,76 @@ public class Solver {
         }
     }
 
+    /**
+     * Find Distance not used by any delegation of the solution with kilometres
+     * closest to given Distance
+     * 
+     * @param delegations
+     * @param distance
+     * @return Nearest free Distance or null if every Distance is taken
+     */
+    private Distance nearestFreeDistance(ArrayList<Delegation> delegations, Distance distance) {
+        Distance nearest = null;
+
+        for (Distance candidate : sortedDistances) {
+            double gap = Math.abs(candidate.kilometres - distance.kilometres);
+            if (nearest != null && gap >= Math.abs(nearest.kilometres - distance.kilometres)) {
+                continue;
+            }
+
+            boolean taken = false;
+            for (Delegation delegation : delegations) {
+                if (delegation.distance.equals(candidate)) {
+                    taken = true;
+                    break;
+                }
+            }
+
+            if (!taken) {
+                nearest = candidate;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Replace every repeated Distance with nearest free one and clamp days and
+     * meals of all delegations to their limits. Every operator changing
+     * Distances has to end with it, fitness doesn't penalize repeated
+     * Distances. If there is no free Distance left the repeated delegation is
+     * removed.
+     * 
+     * @param delegations
+     * @return Repaired list of delegations
+     */
+    private ArrayList<Delegation> repairSolution(ArrayList<Delegation> delegations) {
+        for (int i = 0; i < delegations.size(); i++) {
+            Delegation delegation = delegations.get(i);
+
+            for (int j = 0; j < i; j++) {
+                if (delegations.get(j).distance.equals(delegation.distance)) {
+                    Distance free = nearestFreeDistance(delegations, delegation.distance);
+
+                    if (free == null) {
+                        delegations.remove(i--);
+                        delegation = null;
+                    } else {
+                        delegation = new Delegation(free, delegation.days, delegation.mealsReduction);
+                        delegations.set(i, delegation);
+                    }
+                    break;
+                }
+            }
+
+            if (delegation != null) {
+                delegation.clampToLimits(maxMeals);
+            }
+        }
+
+        return delegations;
+    }
+
     /**
      * Calculate cost of all delegations and how close it is to optimal cost
      * 
@@ -175,6 +353,8 @@ public class Solver {
      * @return Absolute error of the cost of delegations and optimal cost
      */
     private double checkFitness(ArrayList<Delegation> delegations) {
+        assert !hasRepeatedDistance(delegations) : "Solution with repeated Distance skipped repairSolution";
+
         double currentCost = 0;
 
         for (Delegation delegation : delegations) {
@@ -184,6 +364,25 @@ public class Solver {
         return Math.abs(currentCost - optimalTotalCost);
     }
 
+    /**
+     * Check if any Distance is used by more than one delegation. Used only in
+     * assertions, operators keep solutions repaired.
+     * 
+     * @param delegations
+     * @return True if solution has repeated Distance
+     */
+    private boolean hasRepeatedDistance(ArrayList<Delegation> delegations) {
+        for (int i = 0; i < delegations.size(); i++) {
+            for (int j = 0; j < i; j++) {
+                if (delegations.get(j).distance.equals(delegations.get(i).distance)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Calculate fitness function for every solution in population and update best
      * to date solution if needed
@@ -192,25 +391,14 @@ public class Solver {
      */
     private double[] calculateFitnesses() {
         double[] newFitnesses = new double[populationSize];
-        ArrayList<Distance> distanceMonitor = new ArrayList<>();
 
         for (int i = 0; i < populationSize; i++) {
             newFitnesses[i] = checkFitness(population.get(i));
 
-            // Penalty for repeating delegation
-            for (Delegation it : population.get(i)) {
-                if (!distanceMonitor.contains(it.distance)) {
-                    distanceMonitor.add(it.distance);
-                } else {
-                    newFitnesses[i] += 10000;
-                }
-            }
-
-            distanceMonitor.clear();
-
             if (newFitnesses[i] < bestFitness) {
                 bestFitness = newFitnesses[i];
-                bestSolution = population.get(i);
+                // Copy, operators change solutions of population in place
+                bestSolution = copySolution(population.get(i));
             }
         }
 
@@ -221,10 +409,11 @@ public class Solver {
      * Select best solution from the set number of randomly selected solutions from
      * current population
      * 
+     * @param fitnesses
+     * @param rand
      * @return Index of best solution found
      */
-    private int linearTournament(double[] fitnesses) {
-        SecureRandom rand = new SecureRandom();
+    private int linearTournament(double[] fitnesses, Random rand) {
 
         int bestIndex = rand.nextInt(populationSize);
 
@@ -240,17 +429,18 @@ public class Solver {
     }
 
     /**
-     * Swap one delegation from first solution with one from the second one
+     * Swap one delegation from first solution with one from the second one and
+     * repair repeated Distances in both of them
      * 
      * @param delegation1
      * @param delegation2
+     * @param rand
      * @return Two element arrayList containing changed values
      */
     private ArrayList<ArrayList<Delegation>> delegationCrossover(ArrayList<Delegation> delegation1,
-            ArrayList<Delegation> delegation2) {
+            ArrayList<Delegation> delegation2, Random rand) {
 
         ArrayList<ArrayList<Delegation>> results = new ArrayList<ArrayList<Delegation>>(2);
-        SecureRandom rand = new SecureRandom();
 
         int maxSize = delegation1.size() >= delegation2.size() ? delegation2.size() : delegation1.size();
 
@@ -260,8 +450,9 @@ public class Solver {
         delegation1.set(swapIndex, delegation2.get(swapIndex));
         delegation2.set(swapIndex, swap);
 
-        results.add(delegation1);
-        results.add(delegation2);
+        // Swapped delegation may already be present in the other solution
+        results.add(repairSolution(delegation1));
+        results.add(repairSolution(delegation2));
 
         return results;
     }
@@ -272,12 +463,12 @@ public class Solver {
      * 
      * @param delegation1
      * @param delegation2
+     * @param rand
      * @return Two element arrayList containing changed values
      */
     private ArrayList<ArrayList<Delegation>> daysCrossover(ArrayList<Delegation> delegation1,
-            ArrayList<Delegation> delegation2) {
+            ArrayList<Delegation> delegation2, Random rand) {
         ArrayList<ArrayList<Delegation>> results = new ArrayList<ArrayList<Delegation>>(2);
-        SecureRandom rand = new SecureRandom();
 
         int maxSize = delegation1.size() >= delegation2.size() ? delegation2.size() : delegation1.size();
         int swapIndex = rand.nextInt(maxSize);
@@ -305,12 +496,12 @@ public class Solver {
      * 
      * @param delegation1
      * @param delegation2
+     * @param rand
      * @return Two element arrayList containing changed values
      */
     private ArrayList<ArrayList<Delegation>> mealsCrossover(ArrayList<Delegation> delegation1,
-            ArrayList<Delegation> delegation2) {
+            ArrayList<Delegation> delegation2, Random rand) {
         ArrayList<ArrayList<Delegation>> results = new ArrayList<ArrayList<Delegation>>(2);
-        SecureRandom rand = new SecureRandom();
 
         int maxSize = delegation1.size() >= delegation2.size() ? delegation2.size() : delegation1.size();
         int swapIndex = rand.nextInt(maxSize);
@@ -334,11 +525,12 @@ public class Solver {
      * Randomly change amount of company funded meals in one delegation
      * 
      * @param delegation
+     * @param rand
      * @return Mutated delegation
      */
-    private Delegation mealsMutation(Delegation delegation) {
+    private Delegation mealsMutation(Delegation delegation, Random rand) {
 
-        delegation.setRandomMealReductionWithMaxCheck(maxMeals);
+        delegation.setRandomMealReductionWithMaxCheck(maxMeals, rand);
 
         return delegation;
     }
@@ -347,10 +539,10 @@ public class Solver {
      * Randomly change duration of one delegation
      * 
      * @param delegation
+     * @param rand
      * @return Mutated delegation
      */
-    private Delegation daysMutation(Delegation delegation) {
-        SecureRandom rand = new SecureRandom();
+    private Delegation daysMutation(Delegation delegation, Random rand) {
         delegation.setDaysWithDistanceCheck(rand.nextInt(4) + 2);
         delegation.setMealsReductionWithMaxCheck(maxMeals, delegation.mealsReduction);
 
@@ -417,7 +609,7 @@ public class Solver {
         delegations.remove(min);
         delegations.remove(min2);
 
-        return delegations;
+        return repairSolution(delegations);
     }
 
     /**
@@ -483,7 +675,7 @@ public class Solver {
 
         delegations.remove(max);
 
-        return delegations;
+        return repairSolution(delegations);
     }
 
     /**
@@ -495,8 +687,8 @@ public class Solver {
      * -crossover: -- delegationCrossover = 50% -- daysCrossover = 25% --
      * mealsCrossover = 25%
      * 
-     * -mutation: (20%) -- daysMutation = 35% -- mealsMutation = 35% --
-     * mergeMutation = 15% -- splitMutation = 15%
+     * -mutation: (mutationRate, 20% by default) -- daysMutation = 35% --
+     * mealsMutation = 35% -- mergeMutation = 15% -- splitMutation = 15%
      * 
      * @param milliseconds
      * @param epsilon
@@ -508,7 +700,7 @@ public class Solver {
             return population.get(0);
         }
 
-        SecureRandom rand = new SecureRandom();
+        Random rand = ThreadLocalRandom.current();
         long startTime = System.nanoTime();
         long endTime = System.nanoTime();
         ArrayList<Distance> distancesList = generateDistancesList();
@@ -523,32 +715,33 @@ public class Solver {
             ArrayList<ArrayList<Delegation>> newPopulation = new ArrayList<ArrayList<Delegation>>(populationSize);
 
             for (int i = 0; i < populationSize / 2 - 1; i++) {
-                ArrayList<Delegation> parent1 = population.get(linearTournament(fitnesses));
-                ArrayList<Delegation> parent2 = population.get(linearTournament(fitnesses));
+                ArrayList<Delegation> parent1 = population.get(linearTournament(fitnesses, rand));
+                ArrayList<Delegation> parent2 = population.get(linearTournament(fitnesses, rand));
 
                 int crossover = rand.nextInt(100);
                 ArrayList<ArrayList<Delegation>> children;
 
                 if (crossover < 50) {
-                    children = delegationCrossover(parent1, parent2);
+                    children = delegationCrossover(parent1, parent2, rand);
                 } else if (crossover < 75) {
-                    children = daysCrossover(parent1, parent2);
+                    children = daysCrossover(parent1, parent2, rand);
                 } else {
-                    children = mealsCrossover(parent1, parent2);
+                    children = mealsCrossover(parent1, parent2, rand);
                 }
 
                 newPopulation.add(children.get(0));
                 newPopulation.add(children.get(1));
             }
 
-            // To avoid converging of population add bestSolution and one random
-            newPopulation.add(bestSolution);
-            newPopulation.add(randomSolution(distancesList));
+            // To avoid converging of population add copy of bestSolution and one random,
+            // until any solution beats optimalTotalCost there is no best so add two random
+            newPopulation.add(bestSolution == null ? randomSolution(distancesList, rand) : copySolution(bestSolution));
+            newPopulation.add(randomSolution(distancesList, rand));
 
             int mutation = rand.nextInt(100);
 
             // Normal mutation on new population
-            if (mutation < 20) {
+            if (mutation < mutationRate) {
 
                 for (int i = rand.nextInt(7); i < 7; i++) {
                     mutation = rand.nextInt(100);
@@ -560,13 +753,15 @@ public class Solver {
                         mutation = rand.nextInt(populationSize);
                         ArrayList<Delegation> mutatingSolution = newPopulation.get(mutation);
                         int delegationIndex = rand.nextInt(mutatingSolution.size());
-                        mutatingSolution.set(delegationIndex, daysMutation(mutatingSolution.get(delegationIndex)));
+                        mutatingSolution.set(delegationIndex,
+                                daysMutation(mutatingSolution.get(delegationIndex), rand));
                         newPopulation.set(mutation, mutatingSolution);
                     } else if (mutation < 85) {
                         mutation = rand.nextInt(populationSize);
                         ArrayList<Delegation> mutatingSolution = newPopulation.get(mutation);
                         int delegationIndex = rand.nextInt(mutatingSolution.size());
-                        mutatingSolution.set(delegationIndex, mealsMutation(mutatingSolution.get(delegationIndex)));
+                        mutatingSolution.set(delegationIndex,
+                                mealsMutation(mutatingSolution.get(delegationIndex), rand));
                         newPopulation.set(mutation, mutatingSolution);
                     } else {
                         mutation = rand.nextInt(populationSize);
@@ -582,4 +777,246 @@ public class Solver {
         return bestSolution;
     }
 
+    /**
+     * Solution stored in one slot of the shared steady-state population together
+     * with its fitness. Instances are never modified after being published, so a
+     * slot can be replaced with a single compare-and-set on its reference.
+     */
+    private static final class Individual {
+        final ArrayList<Delegation> solution;
+        final double fitness;
+
+        Individual(ArrayList<Delegation> solution, double fitness) {
+            this.solution = solution;
+            this.fitness = fitness;
+        }
+    }
+
+    /**
+     * Copy solution together with its delegations so operators working in place
+     * can't change individuals visible to other threads
+     * 
+     * @param delegations
+     * @return Independent copy of the solution
+     */
+    private ArrayList<Delegation> copySolution(ArrayList<Delegation> delegations) {
+        ArrayList<Delegation> copy = new ArrayList<>(delegations.size());
+
+        for (Delegation delegation : delegations) {
+            copy.add(new Delegation(delegation.distance, delegation.days, delegation.mealsReduction));
+        }
+
+        return copy;
+    }
+
+    /**
+     * Select best individual from the set number of randomly selected slots of
+     * shared population
+     * 
+     * @return Individual found in the best slot at the time of reading
+     */
+    private Individual sharedTournament(AtomicReferenceArray<Individual> shared, Random rand) {
+        Individual best = shared.get(rand.nextInt(populationSize));
+
+        for (int i = 0; i < tournamentContestants; i++) {
+            Individual candidate = shared.get(rand.nextInt(populationSize));
+
+            if (candidate.fitness < best.fitness) {
+                best = candidate;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Select slot holding worse individual from the set number of randomly
+     * selected slots and try to replace it with child. Replacement is done with
+     * compare-and-set so if another worker changed the slot in the meantime the
+     * comparison is repeated against the new occupant.
+     * 
+     * @return True if child was put into population
+     */
+    private boolean replaceWorse(AtomicReferenceArray<Individual> shared, Individual child, Random rand) {
+        int worstIndex = rand.nextInt(populationSize);
+
+        for (int i = 0; i < tournamentContestants; i++) {
+            int candidate = rand.nextInt(populationSize);
+
+            if (shared.get(candidate).fitness > shared.get(worstIndex).fitness) {
+                worstIndex = candidate;
+            }
+        }
+
+        Individual current = shared.get(worstIndex);
+        while (child.fitness < current.fitness) {
+            if (shared.compareAndSet(worstIndex, current, child)) {
+                return true;
+            }
+            current = shared.get(worstIndex);
+        }
+
+        return false;
+    }
+
+    /**
+     * Create child from two parents using crossover and mutation probabilities of
+     * generational algorithm. Parents are copied first so they stay unchanged.
+     * 
+     * @return Mutated child solution
+     */
+    private ArrayList<Delegation> breed(Individual parent1, Individual parent2, Random rand) {
+        ArrayList<Delegation> child1 = copySolution(parent1.solution);
+        ArrayList<Delegation> child2 = copySolution(parent2.solution);
+
+        int crossover = rand.nextInt(100);
+        ArrayList<ArrayList<Delegation>> children;
+
+        if (crossover < 50) {
+            children = delegationCrossover(child1, child2, rand);
+        } else if (crossover < 75) {
+            children = daysCrossover(child1, child2, rand);
+        } else {
+            children = mealsCrossover(child1, child2, rand);
+        }
+
+        ArrayList<Delegation> child = children.get(rand.nextInt(2));
+
+        if (rand.nextInt(100) < mutationRate) {
+            int mutation = rand.nextInt(100);
+
+            if (mutation < 15) {
+                child = mergeMutation(child);
+            } else if (mutation < 50) {
+                int delegationIndex = rand.nextInt(child.size());
+                child.set(delegationIndex, daysMutation(child.get(delegationIndex), rand));
+            } else if (mutation < 85) {
+                int delegationIndex = rand.nextInt(child.size());
+                child.set(delegationIndex, mealsMutation(child.get(delegationIndex), rand));
+            } else {
+                child = splitMutation(child);
+            }
+        }
+
+        return child;
+    }
+
+    /**
+     * Run steady-state genetic algorithm with several worker threads sharing one
+     * population. Every worker repeatedly selects two parents, breeds one child
+     * and puts it in place of a worse individual. There is no generation barrier,
+     * slots are replaced with compare-and-set and best fitness is kept in an
+     * atomic accumulator. Stop when fitness < epsilon or time runs out.
+     * 
+     * Crossover and mutation probabilities are the same as in
+     * {@link #solve(int, double)}. Like the generational loop every worker also
+     * offers one random solution per populationSize / 2 - 1 children to avoid
+     * converging of population.
+     * 
+     * @param milliseconds
+     * @param epsilon
+     * @param threads      Number of worker threads, at least 1
+     * @return Best solution found
+     */
+    public ArrayList<Delegation> solveSteadyState(int milliseconds, double epsilon, int threads) {
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1: " + threads);
+        }
+
+        if (population.size() < populationSize) {
+            return population.get(0);
+        }
+
+        AtomicReferenceArray<Individual> shared = new AtomicReferenceArray<>(populationSize);
+        DoubleAccumulator sharedBestFitness = new DoubleAccumulator(Math::min, bestFitness);
+        AtomicReference<Individual> sharedBest = new AtomicReference<>(
+                new Individual(bestSolution, bestFitness));
+
+        for (int i = 0; i < populationSize; i++) {
+            ArrayList<Delegation> solution = copySolution(population.get(i));
+            Individual individual = new Individual(solution, checkFitness(solution));
+            shared.set(i, individual);
+            sharedBestFitness.accumulate(individual.fitness);
+            if (individual.fitness < sharedBest.get().fitness) {
+                sharedBest.set(individual);
+            }
+        }
+
+        AtomicBoolean finished = new AtomicBoolean(sharedBestFitness.get() < epsilon);
+        long deadline = System.nanoTime() + (milliseconds + 1) * 1000000L;
+
+        int randomEvery = populationSize / 2 - 1;
+
+        Runnable worker = () -> {
+            // Generator of this worker's thread, a shared SecureRandom would serialize workers
+            Random rand = ThreadLocalRandom.current();
+            ArrayList<Distance> distancesList = generateDistancesList();
+            int children = 0;
+
+            while (!finished.get() && System.nanoTime() < deadline) {
+                ArrayList<Delegation> solution;
+
+                if (++children % randomEvery == 0) {
+                    solution = randomSolution(distancesList, rand);
+                } else {
+                    Individual parent1 = sharedTournament(shared, rand);
+                    Individual parent2 = sharedTournament(shared, rand);
+                    solution = breed(parent1, parent2, rand);
+                }
+
+                Individual child = new Individual(solution, checkFitness(solution));
+
+                if (child.fitness < sharedBestFitness.get()) {
+                    sharedBestFitness.accumulate(child.fitness);
+
+                    Individual best = sharedBest.get();
+                    while (child.fitness < best.fitness && !sharedBest.compareAndSet(best, child)) {
+                        best = sharedBest.get();
+                    }
+
+                    if (child.fitness < epsilon) {
+                        finished.set(true);
+                    }
+                }
+
+                replaceWorse(shared, child, rand);
+            }
+        };
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(worker, "steady-state-" + i);
+            workers[i].start();
+        }
+
+        // If interrupted stop workers and still wait for them, so no thread keeps
+        // running until deadline after return
+        boolean interrupted = false;
+        for (Thread thread : workers) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    finished.set(true);
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        population = new ArrayList<>(populationSize);
+        for (int i = 0; i < populationSize; i++) {
+            population.add(shared.get(i).solution);
+        }
+
+        Individual best = sharedBest.get();
+        bestFitness = best.fitness;
+        bestSolution = best.solution == null ? null : copySolution(best.solution);
+
+        return bestSolution;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package main;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Cost bands deciding maximum number of delegations together with
+ * SolverSettings for every band. Stored as properties file:
+ *
+ * bands=500,1000,1500,2000,2500
+ * band.1.populationSize=20
+ * band.1.tournamentContestants=5
+ * band.1.mutationRate=20
+ * ...
+ *
+ * Band n covers costs up to n-th bound and allows n delegations, last band
+ * covers everything above the last bound. Missing band settings are defaults.
+ */
+public class SolverProfile {
+
+    public static final String profileProperty = "solver.profile";
+    public static final String defaultProfileFile = "solver.properties";
+
+    private final double[] bands;
+    private final SolverSettings[] settings;
+
+    public SolverProfile(double[] bands) {
+        for (int i = 1; i < bands.length; i++) {
+            if (bands[i] <= bands[i - 1]) {
+                throw new IllegalArgumentException("bands must be increasing");
+            }
+        }
+
+        this.bands = bands.clone();
+        settings = new SolverSettings[bands.length + 1];
+        for (int i = 0; i < settings.length; i++) {
+            settings[i] = SolverSettings.defaults();
+        }
+    }
+
+    /**
+     * Profile with bands every 500 up to 2500 and default settings
+     */
+    public static SolverProfile defaults() {
+        return new SolverProfile(new double[] { 500, 1000, 1500, 2000, 2500 });
+    }
+
+    /**
+     * Load profile from file given by solver.profile system property or
+     * solver.properties in working directory, defaults if file doesn't exist
+     *
+     * @return Loaded profile
+     * @throws IOException
+     */
+    public static SolverProfile load() throws IOException {
+        Path path = Paths.get(System.getProperty(profileProperty, defaultProfileFile));
+
+        if (!Files.exists(path)) {
+            return defaults();
+        }
+
+        return load(path);
+    }
+
+    public static SolverProfile load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+
+        SolverProfile profile = defaults();
+        String bandsValue = properties.getProperty("bands");
+        if (bandsValue != null) {
+            String[] parts = bandsValue.split(",");
+            double[] bands = new double[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                bands[i] = Double.parseDouble(parts[i].trim());
+            }
+            profile = new SolverProfile(bands);
+        }
+
+        SolverSettings defaults = SolverSettings.defaults();
+        for (int band = 1; band <= profile.bandCount(); band++) {
+            String prefix = "band." + band + ".";
+            profile.setSettings(band, new SolverSettings(
+                    intProperty(properties, prefix + "populationSize", defaults.populationSize),
+                    intProperty(properties, prefix + "tournamentContestants", defaults.tournamentContestants),
+                    intProperty(properties, prefix + "mutationRate", defaults.mutationRate)));
+        }
+
+        return profile;
+    }
+
+    private static int intProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public void store(Path path, String comment) throws IOException {
+        Properties properties = new Properties();
+
+        StringBuilder bandsValue = new StringBuilder();
+        for (int i = 0; i < bands.length; i++) {
+            if (i > 0) {
+                bandsValue.append(',');
+            }
+            bandsValue.append(bands[i]);
+        }
+        properties.setProperty("bands", bandsValue.toString());
+
+        for (int band = 1; band <= bandCount(); band++) {
+            String prefix = "band." + band + ".";
+            SolverSettings bandSettings = getSettings(band);
+            properties.setProperty(prefix + "populationSize", Integer.toString(bandSettings.populationSize));
+            properties.setProperty(prefix + "tournamentContestants",
+                    Integer.toString(bandSettings.tournamentContestants));
+            properties.setProperty(prefix + "mutationRate", Integer.toString(bandSettings.mutationRate));
+        }
+
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, comment);
+        }
+    }
+
+    public int bandCount() {
+        return settings.length;
+    }
+
+    /**
+     * Find band of optimal cost which is also maximum number of delegations
+     *
+     * @param optimalTotalCost
+     * @return Band number starting from 1
+     */
+    public int band(double optimalTotalCost) {
+        for (int i = 0; i < bands.length; i++) {
+            if (optimalTotalCost <= bands[i]) {
+                return i + 1;
+            }
+        }
+
+        return bands.length + 1;
+    }
+
+    public SolverSettings getSettings(int band) {
+        return settings[band - 1];
+    }
+
+    public void setSettings(int band, SolverSettings bandSettings) {
+        settings[band - 1] = bandSettings;
+    }
+
+    /**
+     * @return Copy of upper cost bounds of all bands but the last one
+     */
+    public double[] getBands() {
+        return bands.clone();
+    }
+
+    /**
+     * Copy of this profile with upper cost bound of one band replaced
+     *
+     * @param index Index of bound, band number minus 1
+     * @param bound New bound, has to stay between neighbouring bounds
+     */
+    public SolverProfile withBand(int index, double bound) {
+        double[] newBands = bands.clone();
+        newBands[index] = bound;
+        SolverProfile copy = new SolverProfile(newBands);
+        System.arraycopy(settings, 0, copy.settings, 0, settings.length);
+        return copy;
+    }
+
+    /**
+     * Copy of this profile with settings of one band replaced
+     */
+    public SolverProfile withSettings(int band, SolverSettings bandSettings) {
+        SolverProfile copy = new SolverProfile(bands);
+        System.arraycopy(settings, 0, copy.settings, 0, settings.length);
+        copy.setSettings(band, bandSettings);
+        return copy;
+    }
+
+}
@@ -0,0 +1,44 @@
+package main;
+
+/**
+ * Genetic algorithm parameters used by Solver for one cost band
+ */
+public class SolverSettings {
+
+    public final int populationSize;
+    public final int tournamentContestants;
+    public final int mutationRate;
+
+    /**
+     * @param populationSize        Even number of solutions, at least 4
+     * @param tournamentContestants Solutions compared in one tournament, at
+     *                              least 1
+     * @param mutationRate          Chance of mutation in percent
+     */
+    public SolverSettings(int populationSize, int tournamentContestants, int mutationRate) {
+        // Generational loop breeds pairs and adds two more, so size has to be even
+        if (populationSize < 4 || populationSize % 2 != 0) {
+            throw new IllegalArgumentException("populationSize must be even and >= 4: " + populationSize);
+        }
+        if (tournamentContestants < 1) {
+            throw new IllegalArgumentException("tournamentContestants must be >= 1: " + tournamentContestants);
+        }
+        if (mutationRate < 0 || mutationRate > 100) {
+            throw new IllegalArgumentException("mutationRate must be between 0 and 100: " + mutationRate);
+        }
+
+        this.populationSize = populationSize;
+        this.tournamentContestants = tournamentContestants;
+        this.mutationRate = mutationRate;
+    }
+
+    public static SolverSettings defaults() {
+        return new SolverSettings(20, 5, 20);
+    }
+
+    public String toString() {
+        return "populationSize: " + populationSize + "; tournamentContestants: " + tournamentContestants
+                + "; mutationRate: " + mutationRate;
+    }
+
+}
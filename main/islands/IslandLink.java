@@ -0,0 +1,80 @@
+package main.islands;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.Solver;
+import main.models.Delegation;
+
+/**
+ * TCP connection to another island. Incoming messages are decoded on a
+ * separate reader thread and handed to the owning IslandNode.
+ */
+public class IslandLink {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final IslandNode node;
+    private final Solver solver;
+
+    public IslandLink(Socket socket, IslandNode node, Solver solver) throws IOException {
+        this.socket = socket;
+        this.node = node;
+        this.solver = solver;
+        socket.setTcpNoDelay(true);
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Start daemon thread reading messages until connection is closed
+     */
+    public void startReader() {
+        Thread reader = new Thread(() -> {
+            try {
+                while (true) {
+                    byte type = in.readByte();
+                    double fitness = in.readDouble();
+                    ArrayList<ArrayList<Delegation>> solutions = MigrantCodec.readSolutions(in, solver);
+                    node.onMessage(this, type, fitness, solutions);
+                }
+            } catch (IOException e) {
+                // Peer finished or connection broke, island keeps working alone
+            } finally {
+                node.onClosed(this);
+            }
+        }, "island-link-" + socket.getPort());
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Encode and send one message
+     *
+     * @param type
+     * @param fitness
+     * @param solutions
+     * @throws IOException
+     */
+    public synchronized void send(byte type, double fitness, List<ArrayList<Delegation>> solutions)
+            throws IOException {
+        MigrantCodec.write(out, type, fitness, solutions);
+        out.flush();
+    }
+
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing left to do with this link
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package main.islands;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import main.Main;
+import main.Solver;
+import main.SolverProfile;
+import main.models.Delegation;
+
+/**
+ * Run one island of distributed solve on the sample matrix from Main.
+ *
+ * Coordinator: coordinator port peers optimalCost timeMillis epsilon meals
+ * Worker: worker host port optimalCost timeMillis epsilon meals
+ *
+ * e.g. three JVMs on one machine:
+ * java main.islands.IslandMain coordinator 5000 2 1200 5000 1 4
+ * java main.islands.IslandMain worker localhost 5000 1200 5000 1 4
+ * java main.islands.IslandMain worker localhost 5000 1200 5000 1 4
+ */
+public class IslandMain {
+
+    private static final int epochMillis = 100;
+    private static final int migrants = 2;
+
+    public static void main(String args[]) throws IOException {
+
+        boolean coordinator = args[0].equals("coordinator");
+
+        double optimalCost = Double.parseDouble(args[3]);
+        int timeMillis = Integer.parseInt(args[4]);
+        double epsilon = Double.parseDouble(args[5]);
+        int meals = Integer.parseInt(args[6]);
+
+        Solver solver = new Solver(optimalCost, Main.distances, Main.durations, Main.citiesStarting,
+                Main.citiesEnding, meals, SolverProfile.load());
+
+        IslandNode node = coordinator
+                ? IslandNode.coordinator(solver, Integer.parseInt(args[1]), Integer.parseInt(args[2]))
+                : IslandNode.worker(solver, args[1], Integer.parseInt(args[2]));
+
+        ArrayList<Delegation> optimal = node.run(timeMillis, epsilon, epochMillis, migrants);
+
+        Main.printSolution(optimal);
+    }
+}
@@ -0,0 +1,215 @@
+package main.islands;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import main.Solver;
+import main.models.Delegation;
+
+/**
+ * One island of distributed genetic algorithm. Every island runs its own
+ * Solver population in short epochs and after each epoch sends its elites to
+ * the coordinator, which relays them to every other island. When any island
+ * reaches epsilon the coordinator broadcasts termination to all of them.
+ */
+public class IslandNode {
+
+    private static final int connectRetryMillis = 100;
+    private static final int connectTimeoutMillis = 10000;
+
+    private final Solver solver;
+    private final boolean coordinator;
+    private final List<IslandLink> links = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<ArrayList<Delegation>> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean terminated = new AtomicBoolean(false);
+
+    private IslandNode(Solver solver, boolean coordinator) {
+        this.solver = solver;
+        this.coordinator = coordinator;
+    }
+
+    /**
+     * Create coordinator island and wait until all peers connect. Like workers
+     * it waits for each connection at most connectTimeoutMillis.
+     *
+     * @param solver
+     * @param port
+     * @param peers  Number of worker islands to wait for
+     * @return Connected coordinator
+     * @throws IOException If some peer doesn't connect in time
+     */
+    public static IslandNode coordinator(Solver solver, int port, int peers) throws IOException {
+        IslandNode node = new IslandNode(solver, true);
+
+        try (ServerSocket server = new ServerSocket(port)) {
+            server.setSoTimeout(connectTimeoutMillis);
+            for (int i = 0; i < peers; i++) {
+                try {
+                    node.links.add(new IslandLink(server.accept(), node, solver));
+                } catch (SocketTimeoutException e) {
+                    for (IslandLink link : node.links) {
+                        link.close();
+                    }
+                    throw new IOException("Only " + i + " of " + peers + " peers connected to port " + port
+                            + " within " + connectTimeoutMillis + " ms", e);
+                }
+            }
+        }
+
+        for (IslandLink link : node.links) {
+            link.startReader();
+        }
+
+        return node;
+    }
+
+    /**
+     * Create worker island connected to coordinator. Connection is retried for a
+     * while so workers can be started before coordinator.
+     *
+     * @param solver
+     * @param host
+     * @param port
+     * @return Connected worker
+     * @throws IOException If coordinator can't be reached
+     */
+    public static IslandNode worker(Solver solver, String host, int port) throws IOException {
+        IslandNode node = new IslandNode(solver, false);
+        long deadline = System.currentTimeMillis() + connectTimeoutMillis;
+
+        while (true) {
+            try {
+                IslandLink link = new IslandLink(new Socket(host, port), node, solver);
+                node.links.add(link);
+                link.startReader();
+                return node;
+            } catch (ConnectException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(connectRetryMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Run island until time runs out, this or any other island reaches epsilon.
+     *
+     * @param milliseconds
+     * @param epsilon
+     * @param epochMillis  Time of one solve between migrations
+     * @param migrants     Number of elites sent after every epoch
+     * @return Best solution found by this island
+     */
+    public ArrayList<Delegation> run(int milliseconds, double epsilon, int epochMillis, int migrants) {
+        long deadline = System.currentTimeMillis() + milliseconds;
+        ArrayList<Delegation> result = null;
+
+        // Population too small to evolve, minimal solution is the answer
+        if (solver.getElites(1).isEmpty()) {
+            terminated.set(true);
+            result = solver.solve(milliseconds, epsilon);
+        }
+
+        while (!terminated.get()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+
+            result = solver.solve((int) Math.min(epochMillis, remaining), epsilon);
+            acceptInbox();
+
+            if (solver.getBestFitness() < epsilon) {
+                List<ArrayList<Delegation>> best = Collections.singletonList(solver.getBestSolution());
+                if (coordinator) {
+                    broadcast(null, MigrantCodec.TERMINATE, solver.getBestFitness(), best);
+                } else {
+                    broadcast(null, MigrantCodec.SOLVED, solver.getBestFitness(), best);
+                }
+                terminated.set(true);
+                break;
+            }
+
+            broadcast(null, MigrantCodec.MIGRANTS, solver.getBestFitness(), solver.getElites(migrants));
+        }
+
+        acceptInbox();
+
+        for (IslandLink link : links) {
+            link.close();
+        }
+
+        return solver.getBestSolution() != null ? solver.getBestSolution() : result;
+    }
+
+    /**
+     * Handle message decoded by link reader thread. Coordinator relays migrants
+     * to other islands and turns SOLVED into TERMINATE for everyone.
+     */
+    void onMessage(IslandLink source, byte type, double fitness, ArrayList<ArrayList<Delegation>> solutions) {
+        if (type == MigrantCodec.MIGRANTS) {
+            if (coordinator) {
+                broadcast(source, MigrantCodec.MIGRANTS, fitness, solutions);
+            }
+        } else if (type == MigrantCodec.SOLVED) {
+            if (coordinator) {
+                broadcast(source, MigrantCodec.TERMINATE, fitness, solutions);
+            }
+            terminated.set(true);
+        } else if (type == MigrantCodec.TERMINATE) {
+            terminated.set(true);
+        }
+
+        // Relayed before being queued, Solver changes accepted solutions in place
+        inbox.addAll(solutions);
+    }
+
+    void onClosed(IslandLink link) {
+        links.remove(link);
+        link.close();
+    }
+
+    /**
+     * Send message to every connected island except source. Links which fail are
+     * dropped.
+     */
+    private void broadcast(IslandLink source, byte type, double fitness, List<ArrayList<Delegation>> solutions) {
+        for (IslandLink link : links) {
+            if (link == source) {
+                continue;
+            }
+            try {
+                link.send(type, fitness, solutions);
+            } catch (IOException e) {
+                onClosed(link);
+            }
+        }
+    }
+
+    private void acceptInbox() {
+        ArrayList<ArrayList<Delegation>> received = new ArrayList<>();
+        ArrayList<Delegation> migrant;
+
+        while ((migrant = inbox.poll()) != null) {
+            received.add(migrant);
+        }
+
+        solver.acceptMigrants(received);
+    }
+
+}
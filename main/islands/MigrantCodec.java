@@ -0,0 +1,95 @@
+package main.islands;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.Solver;
+import main.models.Delegation;
+import main.models.Distance;
+
+/**
+ * Binary format of messages exchanged between islands.
+ *
+ * Every message is: type (byte), fitness of the best attached solution
+ * (double), number of solutions (short) and for every solution number of
+ * delegations (byte) followed by start (short), end (short), days (byte) and
+ * meals (byte) of each delegation. Distances are rebuilt from start and end
+ * indexes on the receiving side, so every node has to use the same matrix.
+ */
+public final class MigrantCodec {
+
+    public static final byte MIGRANTS = 1;
+    public static final byte SOLVED = 2;
+    public static final byte TERMINATE = 3;
+
+    private MigrantCodec() {
+    }
+
+    /**
+     * Write one message to the stream without flushing it
+     *
+     * @param out
+     * @param type
+     * @param fitness
+     * @param solutions
+     * @throws IOException
+     */
+    public static void write(DataOutputStream out, byte type, double fitness, List<ArrayList<Delegation>> solutions)
+            throws IOException {
+        out.writeByte(type);
+        out.writeDouble(fitness);
+        out.writeShort(solutions.size());
+
+        for (ArrayList<Delegation> solution : solutions) {
+            out.writeByte(solution.size());
+
+            for (Delegation delegation : solution) {
+                out.writeShort(delegation.distance.start);
+                out.writeShort(delegation.distance.end);
+                out.writeByte(delegation.days);
+                out.writeByte(delegation.mealsReduction);
+            }
+        }
+    }
+
+    /**
+     * Read solutions of one message whose type and fitness were already read
+     *
+     * @param in
+     * @param solver Solver used to find Distances by their indexes
+     * @return Decoded solutions
+     * @throws IOException If stream ends or message references unknown Distance
+     */
+    public static ArrayList<ArrayList<Delegation>> readSolutions(DataInputStream in, Solver solver)
+            throws IOException {
+        int count = in.readUnsignedShort();
+        ArrayList<ArrayList<Delegation>> solutions = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            int size = in.readUnsignedByte();
+            ArrayList<Delegation> solution = new ArrayList<>(size);
+
+            for (int j = 0; j < size; j++) {
+                int start = in.readUnsignedShort();
+                int end = in.readUnsignedShort();
+                int days = in.readUnsignedByte();
+                int meals = in.readUnsignedByte();
+
+                Distance distance = solver.distanceFor(start, end);
+                if (distance == null) {
+                    throw new IOException("Unknown distance " + start + " -> " + end);
+                }
+
+                solution.add(new Delegation(distance, days, meals));
+            }
+
+            solutions.add(solution);
+        }
+
+        return solutions;
+    }
+
+}
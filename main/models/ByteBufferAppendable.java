@@ -0,0 +1,133 @@
+package main.models;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Appendable writing characters as UTF-8 straight into ByteBuffer. If drain is
+ * given, full buffer is written to it and reused, otherwise full buffer throws
+ * BufferOverflowException. Unpaired surrogates are written as '?'.
+ */
+public class ByteBufferAppendable implements Appendable {
+
+    // Longest UTF-8 encoding of one code point
+    private static final int maxCharBytes = 4;
+
+    private final ByteBuffer buffer;
+    private final OutputStream drain;
+    private char highSurrogate = 0;
+
+    public ByteBufferAppendable(ByteBuffer buffer) {
+        this(buffer, null);
+    }
+
+    public ByteBufferAppendable(ByteBuffer buffer, OutputStream drain) {
+        if (drain != null && !buffer.hasArray()) {
+            throw new IllegalArgumentException("Draining needs heap buffer");
+        }
+        if (drain != null && buffer.capacity() < maxCharBytes) {
+            throw new IllegalArgumentException("Draining needs buffer of at least " + maxCharBytes + " bytes");
+        }
+        this.buffer = buffer;
+        this.drain = drain;
+    }
+
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        if (Character.isLowSurrogate(c) && highSurrogate != 0) {
+            int codePoint = Character.toCodePoint(highSurrogate, c);
+            highSurrogate = 0;
+            ensureRemaining(maxCharBytes);
+            buffer.put((byte) (0xF0 | (codePoint >> 18)));
+            buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            return this;
+        }
+
+        // Anything else than low surrogate leaves pending high surrogate unpaired
+        writeUnpairedSurrogate();
+
+        if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            ensureRemaining(1);
+            buffer.put((byte) '?');
+        } else if (c < 0x80) {
+            ensureRemaining(1);
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            ensureRemaining(2);
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else {
+            ensureRemaining(3);
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+        return this;
+    }
+
+    /**
+     * Write pending unpaired high surrogate, then buffered bytes to drain and
+     * clear buffer
+     *
+     * @throws IOException
+     */
+    public void flush() throws IOException {
+        writeUnpairedSurrogate();
+        drainBuffer();
+    }
+
+    private void writeUnpairedSurrogate() throws IOException {
+        if (highSurrogate == 0) {
+            return;
+        }
+        highSurrogate = 0;
+        ensureRemaining(1);
+        buffer.put((byte) '?');
+    }
+
+    private void drainBuffer() throws IOException {
+        if (drain == null) {
+            return;
+        }
+        drain.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+        drain.flush();
+        buffer.clear();
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (drain == null) {
+            throw new BufferOverflowException();
+        }
+        drainBuffer();
+        if (buffer.remaining() < bytes) {
+            throw new BufferOverflowException();
+        }
+    }
+
+}
@@ -1,6 +1,6 @@
 package main.models;
 
-import java.security.SecureRandom;
+import java.util.Random;
 
 public class Delegation {
 
@@ -40,9 +40,9 @@ public class Delegation {
      * chooses new mealsReduction randomly between 0 and found max
      * 
      * @param maxMeals
+     * @param rand
      */
-    public void setRandomMealReductionWithMaxCheck(int maxMeals) {
-        SecureRandom rand = new SecureRandom();
+    public void setRandomMealReductionWithMaxCheck(int maxMeals, Random rand) {
         int max = 4 * days > maxMeals ? maxMeals + 1 : 4 * days + 1;
         mealsReduction = rand.nextInt(max);
     }
@@ -61,6 +61,17 @@ public class Delegation {
         mealsReduction = meals;
     }
 
+    /**
+     * Keeps days between 2 and 5 (or 1 if journey is shorter than 2h) and
+     * mealsReduction not greater than maxMeals and 4*days
+     * 
+     * @param maxMeals
+     */
+    public void clampToLimits(int maxMeals) {
+        setDaysWithDistanceCheck(days < 2 ? 2 : days > 5 ? 5 : days);
+        setMealsReductionWithMaxCheck(maxMeals, mealsReduction);
+    }
+
     public String toString() {
         return "start: " + distance.startName + "; end: " + distance.endName + "; km: " + distance.kilometres
                 + "; travel time: " + distance.duration.toHoursPart() + " h " + distance.duration.toMinutesPart()
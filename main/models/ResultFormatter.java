@@ -0,0 +1,181 @@
+package main.models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes ResultView as text, JSON or binary without building intermediate
+ * strings. Costs and kilometres are written with two decimal places.
+ *
+ * Binary layout: delegation count (int), then for every delegation start
+ * (short), end (short), travel seconds (int), days (byte), meals (byte),
+ * kilometres (double) and cost (double), then total cost (double).
+ */
+public final class ResultFormatter {
+
+    public static final int binaryHeaderBytes = 4;
+    public static final int binaryDelegationBytes = 2 + 2 + 4 + 1 + 1 + 8 + 8;
+    public static final int binaryFooterBytes = 8;
+
+    private ResultFormatter() {
+    }
+
+    /**
+     * Append one line per delegation and total, same fields as
+     * Delegation.toString
+     *
+     * @param view
+     * @param out
+     * @throws IOException
+     */
+    public static void appendText(ResultView view, Appendable out) throws IOException {
+        for (int i = 0; i < view.size(); i++) {
+            long seconds = view.travelSeconds(i);
+
+            out.append("cost: ");
+            appendFixed(out, view.cost(i));
+            out.append("; start: ").append(view.startName(i));
+            out.append("; end: ").append(view.endName(i));
+            out.append("; km: ");
+            appendFixed(out, view.kilometres(i));
+            out.append("; travel time: ");
+            appendLong(out, (seconds / 3600) % 24);
+            out.append(" h ");
+            appendLong(out, (seconds / 60) % 60);
+            out.append(" min; days: ");
+            appendLong(out, view.days(i));
+            out.append("; meals: ");
+            appendLong(out, view.meals(i));
+            out.append('\n');
+        }
+
+        out.append("TOTAL: ");
+        appendFixed(out, view.totalCost());
+        out.append('\n');
+    }
+
+    /**
+     * Append solution as one JSON object
+     *
+     * @param view
+     * @param out
+     * @throws IOException
+     */
+    public static void appendJson(ResultView view, Appendable out) throws IOException {
+        out.append("{\"delegations\":[");
+
+        for (int i = 0; i < view.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append("{\"start\":");
+            appendJsonString(out, view.startName(i));
+            out.append(",\"end\":");
+            appendJsonString(out, view.endName(i));
+            out.append(",\"km\":");
+            appendFixed(out, view.kilometres(i));
+            out.append(",\"travelSeconds\":");
+            appendLong(out, view.travelSeconds(i));
+            out.append(",\"days\":");
+            appendLong(out, view.days(i));
+            out.append(",\"meals\":");
+            appendLong(out, view.meals(i));
+            out.append(",\"cost\":");
+            appendFixed(out, view.cost(i));
+            out.append('}');
+        }
+
+        out.append("],\"total\":");
+        appendFixed(out, view.totalCost());
+        out.append('}');
+    }
+
+    /**
+     * @param view
+     * @return Number of bytes writeBinary needs for this view
+     */
+    public static int binarySize(ResultView view) {
+        return binaryHeaderBytes + view.size() * binaryDelegationBytes + binaryFooterBytes;
+    }
+
+    /**
+     * Put solution into buffer in binary layout described in class comment
+     *
+     * @param view
+     * @param buffer
+     * @throws java.nio.BufferOverflowException If buffer has less than
+     *                                          binarySize bytes remaining
+     */
+    public static void writeBinary(ResultView view, ByteBuffer buffer) {
+        buffer.putInt(view.size());
+
+        for (int i = 0; i < view.size(); i++) {
+            buffer.putShort((short) view.start(i));
+            buffer.putShort((short) view.end(i));
+            buffer.putInt((int) view.travelSeconds(i));
+            buffer.put((byte) view.days(i));
+            buffer.put((byte) view.meals(i));
+            buffer.putDouble(view.kilometres(i));
+            buffer.putDouble(view.cost(i));
+        }
+
+        buffer.putDouble(view.totalCost());
+    }
+
+    /**
+     * Append value rounded to two decimal places
+     */
+    private static void appendFixed(Appendable out, double value) throws IOException {
+        long scaled = Math.round(Math.abs(value) * 100);
+
+        if (value < 0 && scaled != 0) {
+            out.append('-');
+        }
+
+        appendLong(out, scaled / 100);
+        out.append('.');
+        out.append((char) ('0' + (scaled / 10) % 10));
+        out.append((char) ('0' + scaled % 10));
+    }
+
+    /**
+     * Append decimal digits of value one by one
+     */
+    private static void appendLong(Appendable out, long value) throws IOException {
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+
+        while (divisor > 0) {
+            out.append((char) ('0' + (value / divisor) % 10));
+            divisor /= 10;
+        }
+    }
+
+    private static void appendJsonString(Appendable out, String value) throws IOException {
+        out.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append("\\u00");
+                out.append(Character.forDigit(c >> 4, 16));
+                out.append(Character.forDigit(c & 0xF, 16));
+            } else {
+                out.append(c);
+            }
+        }
+
+        out.append('"');
+    }
+
+}
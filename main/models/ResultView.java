@@ -0,0 +1,81 @@
+package main.models;
+
+import java.util.List;
+
+/**
+ * Read-only view of solution exposing delegation values without copying them
+ * or building strings. One view can be reused for many solutions with wrap.
+ */
+public class ResultView {
+
+    private List<Delegation> delegations;
+
+    public ResultView() {
+    }
+
+    public ResultView(List<Delegation> delegations) {
+        this.delegations = delegations;
+    }
+
+    /**
+     * Point this view at another solution
+     *
+     * @param delegations
+     * @return This view
+     */
+    public ResultView wrap(List<Delegation> delegations) {
+        this.delegations = delegations;
+        return this;
+    }
+
+    public int size() {
+        return delegations == null ? 0 : delegations.size();
+    }
+
+    public int start(int index) {
+        return delegations.get(index).distance.start;
+    }
+
+    public int end(int index) {
+        return delegations.get(index).distance.end;
+    }
+
+    public String startName(int index) {
+        return delegations.get(index).distance.startName;
+    }
+
+    public String endName(int index) {
+        return delegations.get(index).distance.endName;
+    }
+
+    public double kilometres(int index) {
+        return delegations.get(index).distance.kilometres;
+    }
+
+    public long travelSeconds(int index) {
+        return delegations.get(index).distance.duration.getSeconds();
+    }
+
+    public int days(int index) {
+        return delegations.get(index).days;
+    }
+
+    public int meals(int index) {
+        return delegations.get(index).mealsReduction;
+    }
+
+    public double cost(int index) {
+        return delegations.get(index).delegationCost();
+    }
+
+    public double totalCost() {
+        double total = 0;
+
+        for (int i = 0; i < size(); i++) {
+            total += cost(i);
+        }
+
+        return total;
+    }
+
+}
@@ -0,0 +1,220 @@
+package main.tuning;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.Solver;
+import main.SolverProfile;
+import main.SolverSettings;
+
+/**
+ * Offline tuner of SolverProfile. Candidates are raced with successive
+ * halving: every candidate solves some targets, worse half is dropped and the
+ * rest get twice as many runs, until one candidate is left. Candidates are
+ * ranked by share of runs reaching epsilon within budget, then by mean
+ * fitness.
+ *
+ * First every band bound is raced against its scaled variants on targets
+ * close to it, which moves those targets between maxDelegations values. Then
+ * for every band a grid of SolverSettings is raced on targets of that band.
+ * Bounds without nearby targets and bands without targets are kept from the
+ * starting profile.
+ *
+ * Usage: targetsFile budgetMillis epsilon outputProfile [matrixFile]
+ *
+ * Generated profile is loaded by Main from solver.properties or from file set
+ * in solver.profile system property.
+ */
+public class Autotuner {
+
+    private static final int[] populationSizes = { 10, 20, 30, 40, 60 };
+    private static final int[] tournamentContestants = { 2, 3, 5, 8 };
+    private static final int[] mutationRates = { 10, 20, 35, 50 };
+    // Unchanged bound goes first so it wins ties
+    private static final double[] boundScales = { 1.0, 0.8, 0.9, 1.1, 1.2 };
+
+    private static class Candidate {
+        final SolverProfile profile;
+        int runs = 0;
+        int successes = 0;
+        double fitnessSum = 0;
+
+        Candidate(SolverProfile profile) {
+            this.profile = profile;
+        }
+
+        double successRate() {
+            return runs == 0 ? 0 : (double) successes / runs;
+        }
+
+        double meanFitness() {
+            return runs == 0 ? Double.MAX_VALUE : fitnessSum / runs;
+        }
+    }
+
+    private final TuningCorpus corpus;
+    private final int budgetMillis;
+    private final double epsilon;
+
+    public Autotuner(TuningCorpus corpus, int budgetMillis, double epsilon) {
+        this.corpus = corpus;
+        this.budgetMillis = budgetMillis;
+        this.epsilon = epsilon;
+    }
+
+    /**
+     * Tune band bounds and then settings of every band of given profile
+     *
+     * @param profile Starting profile
+     * @return Profile with tuned bounds and settings
+     */
+    public SolverProfile tune(SolverProfile profile) {
+        SolverProfile tuned = tuneBounds(profile);
+
+        for (int band = 1; band <= tuned.bandCount(); band++) {
+            List<TuningCorpus.Target> bandTargets = new ArrayList<>();
+            for (TuningCorpus.Target target : corpus.targets) {
+                if (tuned.band(target.optimalCost) == band) {
+                    bandTargets.add(target);
+                }
+            }
+
+            if (bandTargets.isEmpty()) {
+                continue;
+            }
+
+            tuned = tuned.withSettings(band, tuneBand(tuned, band, bandTargets));
+        }
+
+        return tuned;
+    }
+
+    /**
+     * Race every band bound against its scaled variants, one bound at a time
+     *
+     * @return Profile with best bounds found
+     */
+    private SolverProfile tuneBounds(SolverProfile profile) {
+        SolverProfile tuned = profile;
+
+        for (int i = 0; i < tuned.bandCount() - 1; i++) {
+            double[] bands = tuned.getBands();
+            double lower = i == 0 ? 0 : bands[i - 1];
+            double upper = i == bands.length - 1 ? Double.MAX_VALUE : bands[i + 1];
+
+            List<Candidate> candidates = new ArrayList<>();
+            double minBound = bands[i];
+            double maxBound = bands[i];
+            for (double scale : boundScales) {
+                double bound = bands[i] * scale;
+                if (bound <= lower || bound >= upper) {
+                    continue;
+                }
+                candidates.add(new Candidate(tuned.withBand(i, bound)));
+                minBound = Math.min(minBound, bound);
+                maxBound = Math.max(maxBound, bound);
+            }
+
+            // Only targets which some candidate moves to another band tell them apart
+            List<TuningCorpus.Target> affected = new ArrayList<>();
+            for (TuningCorpus.Target target : corpus.targets) {
+                if (target.optimalCost > minBound && target.optimalCost <= maxBound) {
+                    affected.add(target);
+                }
+            }
+
+            if (affected.isEmpty()) {
+                continue;
+            }
+
+            tuned = race(candidates, affected).profile;
+        }
+
+        return tuned;
+    }
+
+    /**
+     * Race grid of settings for one band
+     *
+     * @return Best settings found
+     */
+    private SolverSettings tuneBand(SolverProfile profile, int band, List<TuningCorpus.Target> targets) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (int populationSize : populationSizes) {
+            for (int contestants : tournamentContestants) {
+                for (int mutationRate : mutationRates) {
+                    candidates.add(new Candidate(profile.withSettings(band,
+                            new SolverSettings(populationSize, contestants, mutationRate))));
+                }
+            }
+        }
+
+        return race(candidates, targets).profile.getSettings(band);
+    }
+
+    /**
+     * Successive halving over candidates on given targets
+     *
+     * @return Last candidate left
+     */
+    private Candidate race(List<Candidate> candidates, List<TuningCorpus.Target> targets) {
+        int runsPerRound = 1;
+        int nextTarget = 0;
+
+        while (candidates.size() > 1) {
+            // Every candidate of the round gets the same targets
+            for (Candidate candidate : candidates) {
+                for (int i = 0; i < runsPerRound; i++) {
+                    evaluate(candidate, targets.get((nextTarget + i) % targets.size()));
+                }
+            }
+            nextTarget += runsPerRound;
+
+            // Stable sort keeps earlier candidate on ties
+            candidates.sort((a, b) -> a.successRate() != b.successRate()
+                    ? Double.compare(b.successRate(), a.successRate())
+                    : Double.compare(a.meanFitness(), b.meanFitness()));
+            candidates = new ArrayList<>(candidates.subList(0, (candidates.size() + 1) / 2));
+            runsPerRound *= 2;
+        }
+
+        return candidates.get(0);
+    }
+
+    private void evaluate(Candidate candidate, TuningCorpus.Target target) {
+        Solver solver = new Solver(target.optimalCost, corpus.distances, corpus.durations, corpus.citiesStart,
+                corpus.citiesEnd, target.meals, candidate.profile);
+        solver.solve(budgetMillis, epsilon);
+
+        candidate.runs++;
+        candidate.fitnessSum += solver.getBestFitness();
+        if (solver.getBestFitness() < epsilon) {
+            candidate.successes++;
+        }
+    }
+
+    public static void main(String args[]) throws IOException {
+
+        Path targetsPath = Paths.get(args[0]);
+        int budgetMillis = Integer.parseInt(args[1]);
+        double epsilon = Double.parseDouble(args[2]);
+        Path outputPath = Paths.get(args[3]);
+        Path matrixPath = args.length > 4 ? Paths.get(args[4]) : null;
+
+        TuningCorpus corpus = TuningCorpus.load(targetsPath, matrixPath);
+        Autotuner tuner = new Autotuner(corpus, budgetMillis, epsilon);
+
+        SolverProfile tuned = tuner.tune(SolverProfile.load());
+        double[] bands = tuned.getBands();
+        for (int band = 1; band <= tuned.bandCount(); band++) {
+            System.out.print("band " + band + (band <= bands.length ? " (up to " + bands[band - 1] + ")" : "") + ": ");
+            System.out.println(tuned.getSettings(band));
+        }
+
+        tuned.store(outputPath, "Tuned on " + targetsPath + " with " + budgetMillis + " ms budget and epsilon "
+                + epsilon);
+    }
+}
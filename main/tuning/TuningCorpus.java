@@ -0,0 +1,109 @@
+package main.tuning;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.Main;
+
+/**
+ * Targets and matrix used for tuning.
+ *
+ * Targets file has one "optimalCost;meals" per line. Matrix file has starting
+ * cities in first line, ending cities in second line, then one line of
+ * kilometres for every starting city and one line of durations in seconds for
+ * every starting city, all values separated by ';'. Empty lines and lines
+ * starting with '#' are skipped in both files.
+ */
+public class TuningCorpus {
+
+    public static class Target {
+        public final double optimalCost;
+        public final int meals;
+
+        public Target(double optimalCost, int meals) {
+            this.optimalCost = optimalCost;
+            this.meals = meals;
+        }
+    }
+
+    public final List<Target> targets;
+    public final String[] citiesStart;
+    public final String[] citiesEnd;
+    public final double[][] distances;
+    public final int[][] durations;
+
+    public TuningCorpus(List<Target> targets, String[] citiesStart, String[] citiesEnd, double[][] distances,
+            int[][] durations) {
+        this.targets = targets;
+        this.citiesStart = citiesStart;
+        this.citiesEnd = citiesEnd;
+        this.distances = distances;
+        this.durations = durations;
+    }
+
+    /**
+     * Load targets and matrix, sample matrix from Main is used if matrixPath is
+     * null
+     *
+     * @param targetsPath
+     * @param matrixPath
+     * @return Loaded corpus
+     * @throws IOException
+     */
+    public static TuningCorpus load(Path targetsPath, Path matrixPath) throws IOException {
+        List<Target> targets = new ArrayList<>();
+        for (String[] values : readLines(targetsPath)) {
+            targets.add(new Target(Double.parseDouble(values[0]), Integer.parseInt(values[1])));
+        }
+
+        if (matrixPath == null) {
+            return new TuningCorpus(targets, Main.citiesStarting, Main.citiesEnding, Main.distances,
+                    Main.durations);
+        }
+
+        List<String[]> lines = readLines(matrixPath);
+        String[] citiesStart = lines.get(0);
+        String[] citiesEnd = lines.get(1);
+
+        if (lines.size() != 2 + 2 * citiesStart.length) {
+            throw new IOException("Expected " + citiesStart.length + " rows of kilometres and durations in "
+                    + matrixPath);
+        }
+
+        double[][] distances = new double[citiesStart.length][citiesEnd.length];
+        int[][] durations = new int[citiesStart.length][citiesEnd.length];
+        for (int i = 0; i < citiesStart.length; i++) {
+            String[] kilometres = lines.get(2 + i);
+            String[] seconds = lines.get(2 + citiesStart.length + i);
+            for (int j = 0; j < citiesEnd.length; j++) {
+                distances[i][j] = Double.parseDouble(kilometres[j]);
+                durations[i][j] = Integer.parseInt(seconds[j]);
+            }
+        }
+
+        return new TuningCorpus(targets, citiesStart, citiesEnd, distances, durations);
+    }
+
+    private static List<String[]> readLines(Path path) throws IOException {
+        List<String[]> lines = new ArrayList<>();
+
+        for (String line : Files.readAllLines(path)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] values = line.split(";");
+            for (int i = 0; i < values.length; i++) {
+                values[i] = values[i].trim();
+            }
+            lines.add(values);
+        }
+
+        return lines;
+    }
+
+}